@@ -0,0 +1,69 @@
+#!/bin/sh
+# Compiles the project, builds an AppCDS archive from training runs of the
+# loader and of GenerateInfoFiles, and compares startup with and without it.
+#
+# Usage (from the project root): sh scripts/build-cds.sh
+# RUNS sets the number of measured runs per configuration (default 9).
+set -e
+
+OUT=$(pwd)/out
+JAR=$OUT/salesReport.jar
+ARCHIVE=$OUT/salesReport.jsa
+CLASSLIST=$OUT/salesReport.classlist
+RUNS=${RUNS:-9}
+
+# GenerateInfoFiles writes data/ relative to the working directory, so it is
+# run in a scratch directory to leave the project's data/ untouched.
+SCRATCH=$(mktemp -d)
+trap 'rm -rf "$SCRATCH"' EXIT
+
+rm -rf "$OUT/classes"
+mkdir -p "$OUT/classes"
+javac -encoding UTF-8 -d "$OUT/classes" $(find src -name '*.java')
+jar --create --file "$JAR" -C "$OUT/classes" .
+
+# Training runs: record the classes loaded by both CLI entry points.
+java -XX:DumpLoadedClassList="$OUT/loader.classlist" -Dbenchmark.start=0 -cp "$JAR" app.StartupBenchmark > /dev/null 2>&1
+(cd "$SCRATCH" && java -XX:DumpLoadedClassList="$OUT/generator.classlist" -cp "$JAR" app.GenerateInfoFiles > /dev/null)
+cat "$OUT/loader.classlist" "$OUT/generator.classlist" > "$CLASSLIST"
+
+java -Xshare:dump -XX:SharedClassListFile="$CLASSLIST" -XX:SharedArchiveFile="$ARCHIVE" -cp "$JAR" > /dev/null
+
+# Prints the median of the numbers read from stdin (one per line).
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+# Runs StartupBenchmark once as warm-up, then RUNS times, and prints the median times.
+# Arguments are extra JVM options.
+bench_loader() {
+    java "$@" -Dbenchmark.start=$(date +%s%3N) -cp "$JAR" app.StartupBenchmark > /dev/null 2>&1
+    : > "$OUT/runs.txt"
+    i=0
+    while [ $i -lt "$RUNS" ]; do
+        java "$@" -Dbenchmark.start=$(date +%s%3N) -cp "$JAR" app.StartupBenchmark 2> /dev/null >> "$OUT/runs.txt"
+        i=$((i + 1))
+    done
+    first=$(awk '/first record/ { print $5 }' "$OUT/runs.txt" | median)
+    full=$(awk '/full load/ { print $5 }' "$OUT/runs.txt" | median)
+    echo "time to first record $first ms, time to full load $full ms"
+}
+
+# Runs GenerateInfoFiles (in the scratch directory) once as warm-up, then RUNS times,
+# and prints the median wall time. Arguments are extra JVM options.
+bench_generator() {
+    (cd "$SCRATCH" && java "$@" -cp "$JAR" app.GenerateInfoFiles > /dev/null)
+    i=0
+    while [ $i -lt "$RUNS" ]; do
+        start=$(date +%s%N)
+        (cd "$SCRATCH" && java "$@" -cp "$JAR" app.GenerateInfoFiles > /dev/null)
+        echo $(( ($(date +%s%N) - start) / 1000000 ))
+        i=$((i + 1))
+    done | median
+}
+
+echo "Medians of $RUNS runs each (after one warm-up run):"
+echo "Loader, before (default CDS only): $(bench_loader)"
+echo "Loader, after (AppCDS archive):    $(bench_loader -XX:SharedArchiveFile="$ARCHIVE")"
+echo "GenerateInfoFiles wall time, before: $(bench_generator) ms"
+echo "GenerateInfoFiles wall time, after:  $(bench_generator -XX:SharedArchiveFile="$ARCHIVE") ms"
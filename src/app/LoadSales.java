@@ -0,0 +1,57 @@
+package app;
+
+import app.utils.Constants;
+import app.utils.DataLoader;
+import models.Product;
+import models.Sale;
+import models.Salesman;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads products, salesmen and sales in checkpointed mode.
+ *
+ * Progress is recorded in data/sales.checkpoint, so if the run dies partway through
+ * data/sales/, running it again resumes from the last checkpoint.
+ *
+ * Usage: java app.LoadSales [checkpointEvery] [--trust-mtime]
+ *   checkpointEvery : newly read sales files between checkpoint syncs (default 100)
+ *   --trust-mtime   : reuse files whose size and modification time match without
+ *                     checking their content (faster, but weaker change detection)
+ */
+public class LoadSales {
+
+    private static final int DEFAULT_CHECKPOINT_EVERY = 100;
+    private static final String TRUST_MTIME_FLAG = "--trust-mtime";
+
+	public static void main(String[] args) {
+
+		try {
+            int checkpointEvery = DEFAULT_CHECKPOINT_EVERY;
+            boolean trustModificationTime = false;
+            for (String arg : args) {
+                if (TRUST_MTIME_FLAG.equals(arg)) {
+                    trustModificationTime = true;
+                } else {
+                    checkpointEvery = Integer.parseInt(arg);
+                }
+            }
+
+            Map<Integer, Product> products = DataLoader.loadProducts(Constants.PRODUCTS_FILE);
+            Map<String, Salesman> salesmen = DataLoader.loadSalesmen(Constants.SALESMEN_FILE);
+            Map<Salesman, List<Sale>> sales = DataLoader.loadSalesCheckpointed(
+                    Constants.SALES_FOLDER, salesmen, products,
+                    Constants.SALES_CHECKPOINT_FILE, checkpointEvery, trustModificationTime);
+
+            int salesCount = 0;
+            for (List<Sale> list : sales.values()) {
+                salesCount += list.size();
+            }
+            System.out.println("Loaded " + salesCount + " sales for " + sales.size() + " salesmen.");
+        } catch (Exception e) {
+            System.err.println("Error while loading sales: " + e.getMessage());
+        }
+	}
+
+}
@@ -0,0 +1,157 @@
+package app;
+
+import app.utils.Constants;
+import app.utils.DataLoader;
+import app.utils.ReportSnapshot;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import models.Product;
+import models.Sale;
+import models.Salesman;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local HTTP server that serves the sales reports as JSON.
+ *
+ * Endpoints:
+ *  - GET  /salesmen            : salesmen ranked by total revenue
+ *  - GET  /products            : products ranked by quantity sold
+ *  - GET  /salesmen/{DocType_DocNumber} : detail of one salesman
+ *  - POST /reload              : reloads the data files
+ *
+ * Requests read from the current ReportSnapshot, which is replaced atomically on reload,
+ * so readers never see a partially loaded state.
+ *
+ * Usage: java app.ReportServer [port]   (default port 8080)
+ */
+public class ReportServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final String SALESMEN_PATH = "/salesmen";
+    private static final String SALESMAN_DETAIL_PREFIX = SALESMEN_PATH + "/";
+
+    private final AtomicReference<ReportSnapshot> snapshot = new AtomicReference<>();
+
+	public static void main(String[] args) {
+
+		try {
+            int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+
+            ReportServer reportServer = new ReportServer();
+            reportServer.reload();
+
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+            server.createContext("/products", reportServer::handleProducts);
+            server.createContext(SALESMEN_PATH, reportServer::handleSalesmen);
+            server.createContext("/reload", reportServer::handleReload);
+            server.setExecutor(newRequestExecutor());
+            server.start();
+
+            System.out.println("Report server listening on http://localhost:" + port);
+        } catch (Exception e) {
+            System.err.println("Error while starting report server: " + e.getMessage());
+        }
+	}
+
+    /**
+     * Loads the data files and atomically replaces the current snapshot.
+     * Synchronized so overlapping reloads cannot finish out of order and publish older data.
+     */
+    public synchronized void reload() throws IOException {
+        Map<Integer, Product> products = DataLoader.loadProducts(Constants.PRODUCTS_FILE);
+        Map<String, Salesman> salesmen = DataLoader.loadSalesmen(Constants.SALESMEN_FILE);
+        Map<Salesman, List<Sale>> sales = DataLoader.loadSales(Constants.SALES_FOLDER, salesmen, products);
+
+        snapshot.set(ReportSnapshot.build(products, salesmen, sales));
+    }
+
+    private void handleProducts(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            sendStatus(exchange, 405);
+            return;
+        }
+        if (!"/products".equals(exchange.getRequestURI().getPath())) {
+            sendStatus(exchange, 404);
+            return;
+        }
+        sendJson(exchange, snapshot.get().getProductsRanking());
+    }
+
+    private void handleSalesmen(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            sendStatus(exchange, 405);
+            return;
+        }
+
+        // Read the snapshot once so the whole response comes from the same data.
+        ReportSnapshot current = snapshot.get();
+        String path = exchange.getRequestURI().getPath();
+
+        if (SALESMEN_PATH.equals(path)) {
+            sendJson(exchange, current.getSalesmenRanking());
+            return;
+        }
+
+        byte[] detail = path.startsWith(SALESMAN_DETAIL_PREFIX)
+                ? current.getSalesmanDetail(path.substring(SALESMAN_DETAIL_PREFIX.length()))
+                : null;
+        if (detail == null) {
+            sendStatus(exchange, 404);
+            return;
+        }
+        sendJson(exchange, detail);
+    }
+
+    private void handleReload(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendStatus(exchange, 405);
+            return;
+        }
+        if (!"/reload".equals(exchange.getRequestURI().getPath())) {
+            sendStatus(exchange, 404);
+            return;
+        }
+
+        try {
+            reload();
+            sendStatus(exchange, 204);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error while reloading data: " + e.getMessage());
+            sendStatus(exchange, 500);
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    /**
+     * Returns a virtual-thread-per-request executor when the JDK supports it (21+),
+     * otherwise a cached platform thread pool.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package app;
+
+import app.utils.Constants;
+import app.utils.DataLoader;
+import models.Product;
+import models.Sale;
+import models.Salesman;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures startup of a short loader run.
+ *
+ * The start time (epoch milliseconds) is passed by the caller as -Dbenchmark.start,
+ * taken just before launching the JVM, so JVM startup and class loading are included
+ * without loading any extra classes to read it. Two times are printed:
+ *  - time to first record: products and salesmen loaded and the first sale parsed
+ *  - time to full load: all sales files loaded with DataLoader.loadSales
+ *
+ * scripts/build-cds.sh runs it several times with and without the AppCDS archive.
+ */
+public class StartupBenchmark {
+
+    private static final String START_PROPERTY = "benchmark.start";
+
+	public static void main(String[] args) {
+
+		try {
+            String startProperty = System.getProperty(START_PROPERTY);
+            if (startProperty == null) {
+                System.err.println("Usage: java -D" + START_PROPERTY + "=<epoch millis> app.StartupBenchmark");
+                return;
+            }
+            long start = Long.parseLong(startProperty);
+
+            Map<Integer, Product> products = DataLoader.loadProducts(Constants.PRODUCTS_FILE);
+            Map<String, Salesman> salesmen = DataLoader.loadSalesmen(Constants.SALESMEN_FILE);
+            Sale firstSale = readFirstSale(Constants.SALES_FOLDER);
+            long firstRecordMillis = System.currentTimeMillis() - start;
+
+            Map<Salesman, List<Sale>> sales = DataLoader.loadSales(Constants.SALES_FOLDER, salesmen, products);
+            long fullLoadMillis = System.currentTimeMillis() - start;
+
+            int salesCount = 0;
+            for (List<Sale> list : sales.values()) {
+                salesCount += list.size();
+            }
+
+            System.out.println("Time to first record: " + firstRecordMillis + " ms (" + firstSale + ")");
+            System.out.println("Time to full load: " + fullLoadMillis + " ms (" + salesCount + " sales)");
+        } catch (Exception e) {
+            System.err.println("Error while running startup benchmark: " + e.getMessage());
+        }
+	}
+
+    /** Parses the first sale line of the first sales file (by name), or returns null if there is none. */
+    private static Sale readFirstSale(String salesDir) throws IOException {
+        File[] files = new File(salesDir).listFiles();
+        if (files == null) return null;
+        Arrays.sort(files);
+
+        for (File file : files) {
+            if (!file.isFile() || !file.getName().endsWith(Constants.FILE_EXTENSION)) continue;
+
+            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    try {
+                        return Sale.parse(line);
+                    } catch (IllegalArgumentException e) {
+                        // Not a valid sale line, keep looking.
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -10,6 +10,7 @@ public class Constants {
     public static final String SALES_FOLDER = DATA_FOLDER + "sales/";
     public static final String PRODUCTS_FILE = DATA_FOLDER + "products.txt";
     public static final String SALESMEN_FILE = DATA_FOLDER + "salesmen.txt";
+    public static final String SALES_CHECKPOINT_FILE = DATA_FOLDER + "sales.checkpoint";
     public static final String FILE_EXTENSION = ".txt";
     public static final String SEPARATOR = ";";
     public static final String[] DOCUMENT_TYPES = { "CC", "CE" };
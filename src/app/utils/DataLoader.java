@@ -6,9 +6,13 @@ import models.Salesman;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * DataLoader is responsible for reading input files (products, salesmen, sales).
@@ -113,59 +117,212 @@ public class DataLoader {
         for (File file : files) {
             if (!file.isFile() || !file.getName().endsWith(".txt")) continue;
 
-            // Extract salesman key from file name: CC_12345678.txt → CC_12345678
             String fileName = file.getName();
-            String fileNameNoExt = fileName.substring(0, fileName.length() - 4);
-            String[] nameParts = fileNameNoExt.split("_");
-            if (nameParts.length != 2) {
-                System.err.println("Invalid sales file name skipped: " + fileName);
-                continue;
-            }
-            String key = nameParts[0] + "_" + nameParts[1];
+            Salesman salesman = resolveSalesman(fileName, salesmen);
+            if (salesman == null) continue;
 
-            Salesman salesman = salesmen.get(key);
-            if (salesman == null) {
-                System.err.println("Sales file ignored, salesman not found: " + fileName);
-                continue;
+            List<Sale> salesList = salesData.computeIfAbsent(salesman, k -> new ArrayList<>());
+            List<Sale> fileSales = new ArrayList<>();
+
+            try {
+                readSalesFile(file, fileSales);
+            } catch (IOException e) {
+                System.err.println("Error reading sales file " + fileName + ": " + e.getMessage());
             }
+            addKnownSales(fileName, fileSales, products, salesList);
+        }
 
-            List<Sale> salesList = salesData.computeIfAbsent(salesman, k -> new ArrayList<>());
+        return salesData;
+    }
 
-            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    if (line.trim().isEmpty()) continue;
-                    String[] saleParts = line.split(";");
-                    if (saleParts.length < 2) {
-                        System.err.println("Invalid sale line skipped in " + fileName + ": " + line);
-                        continue;
+    /**
+     * Loads sales like loadSales, but records progress in a checkpoint file so an
+     * interrupted run can resume instead of re-reading every sales file.
+     *
+     * Each completed file is appended to the checkpoint with its size, modification time,
+     * CRC32 checksum and parsed sales; the checkpoint is synced to disk every
+     * checkpointEvery newly read files and compacted at the end of the run.
+     * On the next run, files whose size and checksum still match are taken from the
+     * checkpoint without parsing them; changed or new files are read again.
+     * With trustModificationTime, a matching size and modification time is enough to
+     * reuse a file without reading it (faster, but see SalesCheckpoint.revalidate).
+     *
+     * Sales from the checkpoint are checked against the current products map, so the
+     * result matches loadSales even if products.txt changed since the checkpoint.
+     *
+     * Unlike loadSales, an IOException while reading a sales file is not skipped:
+     * the checkpoint is synced and the exception is rethrown, so the run can be resumed.
+     * Errors on the checkpoint itself are reported as "Error writing sales checkpoint".
+     */
+    public static Map<Salesman, List<Sale>> loadSalesCheckpointed(
+            String salesDir,
+            Map<String, Salesman> salesmen,
+            Map<Integer, Product> products,
+            String checkpointPath,
+            int checkpointEvery,
+            boolean trustModificationTime) throws IOException {
+
+        if (checkpointEvery <= 0) {
+            throw new IllegalArgumentException("checkpointEvery must be > 0");
+        }
+
+        Map<Salesman, List<Sale>> salesData = new HashMap<>();
+        File folder = new File(salesDir);
+
+        if (!folder.exists() || !folder.isDirectory()) {
+            throw new IOException("Sales directory not found: " + salesDir);
+        }
+
+        File[] files = folder.listFiles();
+        if (files == null) return salesData;
+        Arrays.sort(files);
+
+        try (SalesCheckpoint checkpoint = SalesCheckpoint.open(checkpointPath)) {
+            int readSinceSync = 0;
+
+            for (File file : files) {
+                if (!file.isFile() || !file.getName().endsWith(".txt")) continue;
+
+                String fileName = file.getName();
+                Salesman salesman = resolveSalesman(fileName, salesmen);
+                if (salesman == null) continue;
+
+                SalesCheckpoint.Entry entry = checkpoint.getPrevious(fileName);
+                if (entry != null) {
+                    try {
+                        entry = SalesCheckpoint.revalidate(file, entry, trustModificationTime);
+                    } catch (IOException e) {
+                        throw salesFileError(checkpoint, fileName, e);
                     }
+                    if (entry == null) {
+                        System.err.println("Sales file changed since checkpoint, reading again: " + fileName);
+                    }
+                }
 
+                if (entry != null) {
+                    checkpoint.reuse(fileName, entry);
+                } else {
+                    List<Sale> fileSales = new ArrayList<>();
+                    long size = file.length();
+                    long lastModified = file.lastModified();
+                    long checksum;
                     try {
-                        int productId = Integer.parseInt(saleParts[0].trim());
-                        int quantity = Integer.parseInt(saleParts[1].trim());
-
-                        Product product = products.get(productId);
-                        if (product == null) {
-                            System.err.println("Sale ignored, product not found: " + productId + " in " + fileName);
-                            continue;
-                        }
-                        if (quantity <= 0) {
-                            System.err.println("Sale ignored, invalid quantity: " + line + " in " + fileName);
-                            continue;
-                        }
-
-                        // IMPORTANT: Sale model expects (int productId, int quantity)
-                        salesList.add(new Sale(productId, quantity));
-                    } catch (NumberFormatException e) {
-                        System.err.println("Invalid sale data skipped in " + fileName + ": " + line);
+                        checksum = readSalesFile(file, fileSales);
+                    } catch (IOException e) {
+                        throw salesFileError(checkpoint, fileName, e);
                     }
+                    entry = new SalesCheckpoint.Entry(size, lastModified, checksum, fileSales);
+                    checkpoint.append(fileName, entry);
+                    readSinceSync++;
+                }
+
+                addKnownSales(fileName, entry.getSales(),
+                        products, salesData.computeIfAbsent(salesman, k -> new ArrayList<>()));
+
+                if (readSinceSync >= checkpointEvery) {
+                    checkpoint.sync();
+                    readSinceSync = 0;
                 }
-            } catch (IOException e) {
-                System.err.println("Error reading sales file " + fileName + ": " + e.getMessage());
             }
-        }
 
+            // Only files present in this run are kept, so deleted files drop out.
+            checkpoint.compact();
+        }
         return salesData;
     }
+
+    /**
+     * Builds the exception for a failed sales file read, syncing the checkpoint first so
+     * the run can be resumed. A failure to sync is attached as a suppressed exception.
+     */
+    private static IOException salesFileError(SalesCheckpoint checkpoint, String fileName, IOException cause) {
+        IOException error = new IOException("Error reading sales file " + fileName + ": " + cause.getMessage(), cause);
+        try {
+            checkpoint.sync();
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+        return error;
+    }
+
+    /**
+     * Resolves the salesman of a sales file named DocType_DocNumber.txt.
+     * Returns null (with a warning) if the name is invalid or the salesman is unknown.
+     */
+    private static Salesman resolveSalesman(String fileName, Map<String, Salesman> salesmen) {
+        // Extract salesman key from file name: CC_12345678.txt → CC_12345678
+        String fileNameNoExt = fileName.substring(0, fileName.length() - 4);
+        String[] nameParts = fileNameNoExt.split("_");
+        if (nameParts.length != 2) {
+            System.err.println("Invalid sales file name skipped: " + fileName);
+            return null;
+        }
+        String key = nameParts[0] + "_" + nameParts[1];
+
+        Salesman salesman = salesmen.get(key);
+        if (salesman == null) {
+            System.err.println("Sales file ignored, salesman not found: " + fileName);
+        }
+        return salesman;
+    }
+
+    /**
+     * Reads one sales file, adding its well-formed sales to salesList.
+     * Products are not checked here (see addKnownSales), so the result can be cached
+     * independently of the products catalog.
+     * Format (per line): ProductID;Quantity
+     *
+     * @return CRC32 checksum of the file content
+     */
+    private static long readSalesFile(File file, List<Sale> salesList) throws IOException {
+        String fileName = file.getName();
+        CheckedInputStream in = new CheckedInputStream(new FileInputStream(file), new CRC32());
+
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                String[] saleParts = line.split(";");
+                if (saleParts.length < 2) {
+                    System.err.println("Invalid sale line skipped in " + fileName + ": " + line);
+                    continue;
+                }
+
+                try {
+                    int productId = Integer.parseInt(saleParts[0].trim());
+                    int quantity = Integer.parseInt(saleParts[1].trim());
+
+                    if (productId <= 0) {
+                        System.err.println("Sale ignored, product not found: " + productId + " in " + fileName);
+                        continue;
+                    }
+                    if (quantity <= 0) {
+                        System.err.println("Sale ignored, invalid quantity: " + line + " in " + fileName);
+                        continue;
+                    }
+
+                    // IMPORTANT: Sale model expects (int productId, int quantity)
+                    salesList.add(new Sale(productId, quantity));
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid sale data skipped in " + fileName + ": " + line);
+                }
+            }
+        }
+        return in.getChecksum().getValue();
+    }
+
+    /** Adds the sales whose product exists to salesList, skipping the others with warnings. */
+    private static void addKnownSales(
+            String fileName,
+            List<Sale> sales,
+            Map<Integer, Product> products,
+            List<Sale> salesList) {
+        for (Sale sale : sales) {
+            if (!products.containsKey(sale.getProductId())) {
+                System.err.println("Sale ignored, product not found: " + sale.getProductId() + " in " + fileName);
+                continue;
+            }
+            salesList.add(sale);
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package app.utils;
+
+import models.Product;
+import models.Sale;
+import models.Salesman;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the reports for one load of the data files.
+ *
+ * All responses are encoded to JSON bytes once, when the snapshot is built,
+ * so concurrent readers only copy bytes and never serialize again.
+ * A new snapshot is built on every reload; existing snapshots never change.
+ */
+public class ReportSnapshot {
+
+    private final byte[] salesmenRanking;
+    private final byte[] productsRanking;
+    private final Map<String, byte[]> salesmanDetails;
+
+    private ReportSnapshot(byte[] salesmenRanking, byte[] productsRanking, Map<String, byte[]> salesmanDetails) {
+        this.salesmenRanking = salesmenRanking;
+        this.productsRanking = productsRanking;
+        this.salesmanDetails = salesmanDetails;
+    }
+
+    /**
+     * Builds a snapshot from loaded data.
+     *
+     * Salesmen are ranked by total revenue (quantity * price), products by quantity sold.
+     * Salesman details are keyed by DocType_docNumber, as in the sales file names.
+     */
+    public static ReportSnapshot build(
+            Map<Integer, Product> products,
+            Map<String, Salesman> salesmen,
+            Map<Salesman, List<Sale>> salesData) {
+
+        Map<Integer, Long> quantityByProduct = new HashMap<>();
+        List<Salesman> rankedSalesmen = new ArrayList<>(salesmen.values());
+        Map<Salesman, Long> revenueBySalesman = new HashMap<>();
+        Map<String, byte[]> details = new HashMap<>();
+
+        for (Salesman salesman : rankedSalesmen) {
+            List<Sale> sales = salesData.getOrDefault(salesman, Collections.emptyList());
+            long revenue = 0;
+
+            StringBuilder salesJson = new StringBuilder("[");
+            for (Sale sale : sales) {
+                Product product = products.get(sale.getProductId());
+                if (product == null) continue;
+
+                long subtotal = (long) sale.getQuantity() * product.getPrice();
+                revenue += subtotal;
+                quantityByProduct.merge(product.getId(), (long) sale.getQuantity(), Long::sum);
+
+                if (salesJson.length() > 1) salesJson.append(',');
+                salesJson.append("{\"productId\":").append(product.getId())
+                         .append(",\"productName\":").append(quote(product.getName()))
+                         .append(",\"price\":").append(product.getPrice())
+                         .append(",\"quantity\":").append(sale.getQuantity())
+                         .append(",\"subtotal\":").append(subtotal)
+                         .append('}');
+            }
+            salesJson.append(']');
+            revenueBySalesman.put(salesman, revenue);
+
+            String detail = "{" + salesmanFields(salesman)
+                          + ",\"totalRevenue\":" + revenue
+                          + ",\"sales\":" + salesJson + "}";
+            details.put(salesman.getSalesFileNamePrefix(), encode(detail));
+        }
+
+        rankedSalesmen.sort(Comparator.comparing((Salesman s) -> revenueBySalesman.get(s)).reversed()
+                .thenComparing(Salesman::getSalesFileNamePrefix));
+
+        StringBuilder salesmenJson = new StringBuilder("[");
+        for (Salesman salesman : rankedSalesmen) {
+            if (salesmenJson.length() > 1) salesmenJson.append(',');
+            salesmenJson.append('{').append(salesmanFields(salesman))
+                        .append(",\"totalRevenue\":").append(revenueBySalesman.get(salesman))
+                        .append('}');
+        }
+        salesmenJson.append(']');
+
+        List<Product> rankedProducts = new ArrayList<>(products.values());
+        rankedProducts.sort(Comparator.comparing((Product p) -> quantityByProduct.getOrDefault(p.getId(), 0L)).reversed()
+                .thenComparing(Product::getId));
+
+        StringBuilder productsJson = new StringBuilder("[");
+        for (Product product : rankedProducts) {
+            long quantity = quantityByProduct.getOrDefault(product.getId(), 0L);
+            if (productsJson.length() > 1) productsJson.append(',');
+            productsJson.append("{\"id\":").append(product.getId())
+                        .append(",\"name\":").append(quote(product.getName()))
+                        .append(",\"price\":").append(product.getPrice())
+                        .append(",\"quantitySold\":").append(quantity)
+                        .append(",\"revenue\":").append(quantity * product.getPrice())
+                        .append('}');
+        }
+        productsJson.append(']');
+
+        return new ReportSnapshot(
+                encode(salesmenJson.toString()),
+                encode(productsJson.toString()),
+                Collections.unmodifiableMap(details));
+    }
+
+    /** Returns the salesmen ranking as JSON bytes. Callers must not modify the array. */
+    public byte[] getSalesmenRanking() {
+        return salesmenRanking;
+    }
+
+    /** Returns the products ranking as JSON bytes. Callers must not modify the array. */
+    public byte[] getProductsRanking() {
+        return productsRanking;
+    }
+
+    /**
+     * Returns the detail of one salesman as JSON bytes, or null if not found.
+     * Callers must not modify the array.
+     *
+     * @param key DocType_docNumber, e.g. "CC_12345678"
+     */
+    public byte[] getSalesmanDetail(String key) {
+        return salesmanDetails.get(key);
+    }
+
+    private static String salesmanFields(Salesman salesman) {
+        return "\"docType\":" + quote(salesman.getDocType())
+             + ",\"docNumber\":" + salesman.getDocNumber()
+             + ",\"firstName\":" + quote(salesman.getFirstName())
+             + ",\"lastName\":" + quote(salesman.getLastName());
+    }
+
+    private static byte[] encode(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Returns the value as a JSON string literal. */
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':  sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,348 @@
+package app.utils;
+
+import models.Sale;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Progress of a checkpointed sales ingest: which sales files were fully read,
+ * their size, modification time and CRC32 checksum, and the sales parsed from each one.
+ *
+ * The checkpoint is an append-only log. Each completed file adds one block:
+ *   SALE;FileName;ProductID;Quantity     (one line per sale)
+ *   FILE;FileName;Size;LastModified;Checksum;SalesCount
+ *
+ * The FILE line closes the block, so a block cut short by a crash is ignored on load.
+ * If the same file appears more than once, the last block wins.
+ * compact() rewrites the log with only the files completed in the current run,
+ * through a temp file that is synced and renamed over the log; the rewrite is
+ * skipped when the run neither appended nor dropped anything.
+ *
+ * I/O errors on the checkpoint itself are reported as "Error writing/reading sales
+ * checkpoint", so they can be told apart from errors on the sales files.
+ *
+ * Sales are stored as parsed, before they are checked against the products
+ * catalog, so the caller re-checks them against the current catalog on every run.
+ */
+public class SalesCheckpoint implements Closeable {
+
+    private static final String FILE_RECORD = "FILE";
+    private static final String SALE_RECORD = "SALE";
+
+    /** A fully read sales file and the sales it contained. */
+    public static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final long checksum;
+        private final List<Sale> sales;
+
+        public Entry(long size, long lastModified, long checksum, List<Sale> sales) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.sales = sales;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        public List<Sale> getSales() {
+            return sales;
+        }
+    }
+
+    private final String filePath;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> completed = new LinkedHashMap<>();
+
+    private FileOutputStream logOut;
+    private BufferedWriter log;
+
+    /** True once this run changed what compact() would write compared to the loaded log. */
+    private boolean changed;
+
+    private SalesCheckpoint(String filePath, Map<String, Entry> previous) {
+        this.filePath = filePath;
+        this.previous = previous;
+    }
+
+    /**
+     * Opens the checkpoint at filePath, loading the files completed by earlier runs.
+     * If the log contains an incomplete, invalid or superseded block, it is rewritten
+     * without it. The log itself is only opened for appending on the first append().
+     */
+    public static SalesCheckpoint open(String filePath) throws IOException {
+        Map<String, Entry> previous = new LinkedHashMap<>();
+        boolean clean;
+        try {
+            clean = load(filePath, previous);
+        } catch (IOException e) {
+            throw new IOException("Error reading sales checkpoint " + filePath + ": " + e.getMessage(), e);
+        }
+
+        SalesCheckpoint checkpoint = new SalesCheckpoint(filePath, previous);
+        if (!clean) {
+            try {
+                checkpoint.rewrite(previous);
+            } catch (IOException e) {
+                throw checkpoint.writeError(e);
+            }
+        }
+        return checkpoint;
+    }
+
+    /** Returns the entry recorded by an earlier run for a sales file name, or null. */
+    public Entry getPrevious(String fileName) {
+        return previous.get(fileName);
+    }
+
+    /** Marks a sales file as completed with an entry from an earlier run, without writing it again. */
+    public void reuse(String fileName, Entry entry) {
+        if (entry != previous.get(fileName)) changed = true;
+        completed.put(fileName, entry);
+    }
+
+    /** Marks a sales file as completed and appends its block to the log (not synced until sync()). */
+    public void append(String fileName, Entry entry) throws IOException {
+        changed = true;
+        completed.put(fileName, entry);
+        try {
+            if (log == null) openLog();
+            writeBlock(log, fileName, entry);
+        } catch (IOException e) {
+            throw writeError(e);
+        }
+    }
+
+    /** Flushes the appended blocks and forces them to disk. */
+    public void sync() throws IOException {
+        if (log == null) return;
+        try {
+            log.flush();
+            logOut.getFD().sync();
+        } catch (IOException e) {
+            throw writeError(e);
+        }
+    }
+
+    /**
+     * Rewrites the log with only the files completed in this run, then closes it.
+     * Nothing is rewritten if every file was reused unchanged and none was dropped.
+     */
+    public void compact() throws IOException {
+        try {
+            close();
+            if (changed || !completed.keySet().equals(previous.keySet())) {
+                rewrite(completed);
+            }
+        } catch (IOException e) {
+            throw writeError(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log == null) return;
+        try {
+            log.close();
+        } finally {
+            log = null;
+            logOut = null;
+        }
+    }
+
+    /**
+     * Checks an entry from an earlier run against the file on disk.
+     * A different size means the file changed; otherwise the CRC32 checksum decides,
+     * which reads the whole file.
+     *
+     * With trustModificationTime, a file whose size and modification time both match is
+     * taken as unchanged without reading it. This is faster but weaker: content rewritten
+     * with the same size and an unchanged or restored modification time (coarse timestamps,
+     * "cp -p", rsync) is not detected.
+     *
+     * @return the entry (with the current modification time) if unchanged, or null if the file changed
+     */
+    public static Entry revalidate(File file, Entry entry, boolean trustModificationTime) throws IOException {
+        long size = file.length();
+        long lastModified = file.lastModified();
+        if (size != entry.getSize()) return null;
+        if (trustModificationTime && lastModified == entry.getLastModified()) return entry;
+        if (checksum(file) != entry.getChecksum()) return null;
+        if (lastModified == entry.getLastModified()) return entry;
+        return new Entry(size, lastModified, entry.getChecksum(), entry.getSales());
+    }
+
+    /** Computes the CRC32 checksum of a file's content. */
+    public static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Loads the complete blocks of the log into entries.
+     * Invalid lines are skipped with warnings.
+     *
+     * @return false if the log contained invalid lines, an incomplete block, or a block
+     *         superseded by a later one for the same file
+     */
+    private static boolean load(String filePath, Map<String, Entry> entries) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists()) return true;
+
+        boolean clean = true;
+        Map<String, List<Sale>> pending = new HashMap<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                String[] parts = line.split(Constants.SEPARATOR);
+
+                try {
+                    if (SALE_RECORD.equals(parts[0]) && parts.length == 4) {
+                        pending.computeIfAbsent(parts[1], k -> new ArrayList<>())
+                               .add(new Sale(Integer.parseInt(parts[2]), Integer.parseInt(parts[3])));
+                    } else if (FILE_RECORD.equals(parts[0]) && parts.length == 6) {
+                        List<Sale> sales = pending.remove(parts[1]);
+                        if (sales == null) sales = new ArrayList<>();
+                        if (sales.size() != Integer.parseInt(parts[5])) {
+                            System.err.println("Incomplete checkpoint block skipped: " + parts[1]);
+                            clean = false;
+                            continue;
+                        }
+                        long size = Long.parseLong(parts[2]);
+                        long lastModified = Long.parseLong(parts[3]);
+                        long checksum = Long.parseLong(parts[4], 16);
+                        if (entries.put(parts[1], new Entry(size, lastModified, checksum, sales)) != null) {
+                            clean = false;
+                        }
+                    } else {
+                        System.err.println("Invalid checkpoint line skipped: " + line);
+                        clean = false;
+                    }
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Invalid checkpoint data skipped: " + line);
+                    clean = false;
+                }
+            }
+        }
+        return clean && pending.isEmpty();
+    }
+
+    /** Opens the log for appending, adding a line break first if the last line has none. */
+    private void openLog() throws IOException {
+        File file = new File(filePath);
+        boolean created = !file.exists();
+        boolean endsWithLineBreak = true;
+        if (!created && file.length() > 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                raf.seek(raf.length() - 1);
+                endsWithLineBreak = raf.read() == '\n';
+            }
+        }
+
+        logOut = new FileOutputStream(file, true);
+        log = new BufferedWriter(new OutputStreamWriter(logOut));
+        if (created) {
+            syncDirectory();
+        } else if (!endsWithLineBreak) {
+            log.newLine();
+        }
+    }
+
+    /**
+     * Replaces the log with the given entries: writes them to "filePath.tmp", syncs it,
+     * renames it over filePath and syncs the directory so the rename is durable.
+     */
+    private void rewrite(Map<String, Entry> entries) throws IOException {
+        Path target = Path.of(filePath);
+        Path temp = Path.of(filePath + ".tmp");
+
+        try (FileOutputStream out = new FileOutputStream(temp.toFile());
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                writeBlock(writer, e.getKey(), e.getValue());
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory();
+    }
+
+    private IOException writeError(IOException cause) {
+        return new IOException("Error writing sales checkpoint " + filePath + ": " + cause.getMessage(), cause);
+    }
+
+    /** Forces the checkpoint's directory entry to disk. */
+    private void syncDirectory() throws IOException {
+        Path dir = Path.of(filePath).toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms (e.g. Windows) cannot open or force a directory; the rename still happened.
+            if (!System.getProperty("os.name").startsWith("Windows")) throw e;
+        }
+    }
+
+    private static void writeBlock(BufferedWriter writer, String fileName, Entry entry) throws IOException {
+        for (Sale sale : entry.getSales()) {
+            writer.write(SALE_RECORD + Constants.SEPARATOR
+                    + fileName + Constants.SEPARATOR
+                    + sale.getProductId() + Constants.SEPARATOR
+                    + sale.getQuantity());
+            writer.newLine();
+        }
+        writer.write(FILE_RECORD + Constants.SEPARATOR
+                + fileName + Constants.SEPARATOR
+                + entry.getSize() + Constants.SEPARATOR
+                + entry.getLastModified() + Constants.SEPARATOR
+                + Long.toHexString(entry.getChecksum()) + Constants.SEPARATOR
+                + entry.getSales().size());
+        writer.newLine();
+    }
+}